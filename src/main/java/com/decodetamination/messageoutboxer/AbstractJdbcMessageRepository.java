@@ -0,0 +1,156 @@
+package com.decodetamination.messageoutboxer;
+
+import com.decodetamination.messageoutboxer.OutboxerMetrics.SchemaCheckOutcome;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.SneakyThrows;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.BadSqlGrammarException;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.jdbc.datasource.init.ScriptException;
+
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Base for stores keeping messages in {@code message_outbox} table. Subclasses provide dialect specific insert,
+ * claim and schema scripts. On startup only scripts of versions newer than stored schema version (up to
+ * {@link #SCHEMA_VERSION}) are executed.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public abstract class AbstractJdbcMessageRepository implements MessageRepository {
+
+    protected static final int SCHEMA_VERSION = 3;
+
+    private static final String SELECT_SCHEMA_VERSION = "select max(version) from message_outboxer_schema_version";
+    private static final String DELETE_BY_IDS = "delete from message_outbox where id in (:ids)";
+    private static final String SELECT_STATS = """
+            select count(*) as size, min(creation_date_time) as oldest_creation_time from message_outbox
+            """;
+
+    protected static final String CLASS_COLUMN = "class";
+    protected static final String TOPIC_COLUMN = "topic";
+    protected static final String SERIALIZED_COLUMN = "serialized";
+    protected static final String PAYLOAD_REFERENCE_COLUMN = "payload_reference";
+
+    protected static final String LIMIT_PARAMETER = "limit";
+    protected static final String IDS_PARAMETER = "ids";
+
+    private static final String ID_COLUMN = "id";
+    private static final String SIZE_COLUMN = "size";
+    private static final String OLDEST_CREATION_TIME_COLUMN = "oldest_creation_time";
+
+    protected final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    private final OutboxerMetrics outboxerMetrics;
+    private final boolean schemaCheckEnabled;
+
+    /**
+     * Classpath location of script migrating schema from previous version to given version.
+     *
+     * @param version Schema version, from 1 to {@link #SCHEMA_VERSION}.
+     * @return Schema script location.
+     */
+    protected abstract String schemaScript(int version);
+
+    @PostConstruct
+    void initDb() {
+        Timer.Sample sample = outboxerMetrics.start();
+        SchemaCheckOutcome outcome = checkSchema();
+        long durationNanos = outboxerMetrics.recordSchemaCheck(sample, outcome);
+        log.info("Message outbox schema check {} in {} ms", outcome, durationNanos / 1_000_000);
+    }
+
+    private SchemaCheckOutcome checkSchema() {
+        if (!schemaCheckEnabled) {
+            return SchemaCheckOutcome.SKIPPED;
+        }
+
+        int version = Optional.ofNullable(getSchemaVersion()).orElse(0);
+        if (version >= SCHEMA_VERSION) {
+            return SchemaCheckOutcome.CURRENT;
+        }
+
+        log.info("Message outbox schema version is {}, migrating to version {}", version, SCHEMA_VERSION);
+        try {
+            migrate(version);
+        } catch (ScriptException e) {
+            // Another instance may be migrating at the same time. Scripts are idempotent, continue from its progress.
+            int currentVersion = Optional.ofNullable(getSchemaVersion()).orElse(0);
+            if (currentVersion >= SCHEMA_VERSION) {
+                return SchemaCheckOutcome.CURRENT;
+            }
+            log.warn("Message outbox schema migration failed, retrying from version {}", currentVersion, e);
+            migrate(currentVersion);
+        }
+        return SchemaCheckOutcome.INITIALIZED;
+    }
+
+    private void migrate(int fromVersion) {
+        List<String> scripts = new ArrayList<>();
+        for (int i = fromVersion + 1; i <= SCHEMA_VERSION; i++) {
+            scripts.add(schemaScript(i));
+        }
+        executeSchemaScripts(scripts);
+    }
+
+    /**
+     * Executes schema scripts in given order.
+     *
+     * @param scripts Classpath locations of schema scripts.
+     */
+    protected void executeSchemaScripts(List<String> scripts) {
+        ResourceDatabasePopulator resourceDatabasePopulator = new ResourceDatabasePopulator();
+        scripts.forEach(script -> resourceDatabasePopulator.addScript(new ClassPathResource(script)));
+        resourceDatabasePopulator.execute(namedParameterJdbcTemplate.getJdbcTemplate().getDataSource());
+    }
+
+    private Integer getSchemaVersion() {
+        try {
+            return namedParameterJdbcTemplate.getJdbcTemplate().queryForObject(SELECT_SCHEMA_VERSION, Integer.class);
+        } catch (BadSqlGrammarException e) {
+            log.debug("Message outbox schema version table not found", e);
+            return null;
+        }
+    }
+
+    @Override
+    public void deleteAll(Collection<Message<?>> messages) {
+        if (messages.isEmpty()) {
+            return;
+        }
+
+        List<Long> ids = messages.stream().map(Message::getId).toList();
+        namedParameterJdbcTemplate.update(DELETE_BY_IDS, new MapSqlParameterSource(IDS_PARAMETER, ids));
+    }
+
+    @Override
+    public BacklogStats backlogStats() {
+        return namedParameterJdbcTemplate.queryForObject(
+                SELECT_STATS,
+                new MapSqlParameterSource(),
+                (resultSet, i) -> new BacklogStats(
+                        resultSet.getLong(SIZE_COLUMN),
+                        Optional.ofNullable(resultSet.getTimestamp(OLDEST_CREATION_TIME_COLUMN))
+                                .map(Timestamp::toInstant)
+                                .orElse(null)));
+    }
+
+    @SneakyThrows
+    protected Message<?> map(ResultSet resultSet, int i) {
+        return new Message(
+                resultSet.getLong(ID_COLUMN),
+                Class.forName(resultSet.getString(CLASS_COLUMN)),
+                resultSet.getString(TOPIC_COLUMN),
+                resultSet.getBytes(SERIALIZED_COLUMN),
+                resultSet.getString(PAYLOAD_REFERENCE_COLUMN));
+    }
+}
@@ -0,0 +1,9 @@
+package com.decodetamination.messageoutboxer;
+
+import java.time.Instant;
+
+/**
+ * Number of messages waiting in outbox and creation time of the oldest one ({@code null} when outbox is empty).
+ */
+public record BacklogStats(long size, Instant oldestCreationTime) {
+}
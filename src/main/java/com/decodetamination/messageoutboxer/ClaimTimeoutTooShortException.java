@@ -0,0 +1,9 @@
+package com.decodetamination.messageoutboxer;
+
+public class ClaimTimeoutTooShortException extends RuntimeException {
+
+    public ClaimTimeoutTooShortException(String topic, long claimTimeoutMs, long deliveryTimeoutMs) {
+        super("Claim timeout of " + claimTimeoutMs + " ms has to be longer than delivery timeout of "
+                + deliveryTimeoutMs + " ms of producer for " + topic);
+    }
+}
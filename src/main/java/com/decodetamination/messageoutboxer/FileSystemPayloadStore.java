@@ -0,0 +1,38 @@
+package com.decodetamination.messageoutboxer;
+
+import lombok.RequiredArgsConstructor;
+import lombok.SneakyThrows;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.UUID;
+
+/**
+ * Keeps payloads as files in a local directory. Directory has to be shared by all instances sending from outbox.
+ */
+@RequiredArgsConstructor
+public class FileSystemPayloadStore implements PayloadStore {
+
+    private final Path directory;
+
+    @Override
+    @SneakyThrows
+    public String store(byte[] payload) {
+        String reference = UUID.randomUUID().toString();
+        Files.createDirectories(directory);
+        Files.write(directory.resolve(reference), payload);
+        return reference;
+    }
+
+    @Override
+    @SneakyThrows
+    public byte[] load(String reference) {
+        return Files.readAllBytes(directory.resolve(reference));
+    }
+
+    @Override
+    @SneakyThrows
+    public void delete(String reference) {
+        Files.deleteIfExists(directory.resolve(reference));
+    }
+}
@@ -0,0 +1,33 @@
+package com.decodetamination.messageoutboxer;
+
+import net.javacrumbs.shedlock.core.LockConfiguration;
+import net.javacrumbs.shedlock.core.LockProvider;
+import net.javacrumbs.shedlock.core.SimpleLock;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-process scheduler lock used together with {@link InMemoryMessageRepository}, so no data source is needed.
+ */
+public class InMemoryLockProvider implements LockProvider {
+
+    private final Map<String, Instant> lockedUntil = new ConcurrentHashMap<>();
+
+    @Override
+    public Optional<SimpleLock> lock(LockConfiguration lockConfiguration) {
+        Instant now = Instant.now();
+        Instant lockAtMostUntil = lockConfiguration.getLockAtMostUntil();
+
+        Instant current = lockedUntil.compute(
+                lockConfiguration.getName(),
+                (name, until) -> until == null || !until.isAfter(now) ? lockAtMostUntil : until);
+
+        if (current != lockAtMostUntil) {
+            return Optional.empty();
+        }
+        return Optional.of(() -> lockedUntil.put(lockConfiguration.getName(), lockConfiguration.getLockAtLeastUntil()));
+    }
+}
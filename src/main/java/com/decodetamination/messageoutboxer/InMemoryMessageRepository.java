@@ -0,0 +1,68 @@
+package com.decodetamination.messageoutboxer;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Lock-free, non-persistent store meant for tests and benchmarks. Messages are not part of any transaction.
+ */
+public class InMemoryMessageRepository implements MessageRepository {
+
+    private final AtomicLong sequence = new AtomicLong();
+    private final ConcurrentNavigableMap<Long, StoredMessage> messages = new ConcurrentSkipListMap<>();
+
+    @Override
+    public void saveAll(Collection<Message<?>> messages) {
+        Instant now = Instant.now();
+        messages.forEach(message -> {
+            long id = sequence.incrementAndGet();
+            Message<?> stored = new Message(
+                    id, message.getClazz(), message.getTopic(), message.getSerialized(), message.getPayloadReference());
+            this.messages.put(id, new StoredMessage(stored, now, new AtomicReference<>()));
+        });
+    }
+
+    @Override
+    public List<Message<?>> claimBatch(int batchSize, Duration claimTimeout) {
+        Instant now = Instant.now();
+        Instant claimedUntil = now.plus(claimTimeout);
+        List<Message<?>> claimed = new ArrayList<>();
+
+        for (StoredMessage storedMessage : messages.values()) {
+            if (claimed.size() == batchSize) {
+                break;
+            }
+            if (storedMessage.claim(now, claimedUntil)) {
+                claimed.add(storedMessage.message());
+            }
+        }
+        return claimed;
+    }
+
+    @Override
+    public void deleteAll(Collection<Message<?>> messages) {
+        messages.forEach(message -> this.messages.remove(message.getId()));
+    }
+
+    @Override
+    public BacklogStats backlogStats() {
+        Map.Entry<Long, StoredMessage> oldest = messages.firstEntry();
+        return new BacklogStats(messages.size(), oldest == null ? null : oldest.getValue().creationTime());
+    }
+
+    private record StoredMessage(Message<?> message, Instant creationTime, AtomicReference<Instant> claimedUntil) {
+
+        boolean claim(Instant now, Instant until) {
+            Instant current = claimedUntil.get();
+            return (current == null || current.isBefore(now)) && claimedUntil.compareAndSet(current, until);
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package com.decodetamination.messageoutboxer;
 
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
 import org.apache.kafka.clients.producer.ProducerConfig;
 import org.springframework.kafka.core.DefaultKafkaProducerFactory;
 import org.springframework.kafka.core.KafkaTemplate;
@@ -10,30 +12,79 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
+/**
+ * Kafka templates per topic. Templates (and their producers) are created on first use of a topic.
+ */
+@Slf4j
 @Component
 public class KafkaTemplateRegistry {
 
+    private static final long DEFAULT_DELIVERY_TIMEOUT_MS = ((Number) ProducerConfig.configDef().defaultValues()
+            .get(ProducerConfig.DELIVERY_TIMEOUT_MS_CONFIG)).longValue();
+
     private final KafkaProducerProperties kafkaProducerProperties;
-    private final Map<String, KafkaTemplate<?, ?>> kafkaTemplates = new HashMap<>();
+    private final OutboxerMetrics outboxerMetrics;
+    private final Map<String, TopicConfiguration> topicConfigurations;
+    private final Map<String, KafkaTemplate<?, ?>> kafkaTemplates = new ConcurrentHashMap<>();
 
     public KafkaTemplateRegistry(KafkaProducerProperties kafkaProducerProperties,
+                                 OutboxerMetrics outboxerMetrics,
+                                 OutboxingProperties outboxingProperties,
                                  List<OutboxingConfiguration> outboxingConfigurations) {
 
         this.kafkaProducerProperties = kafkaProducerProperties;
-        outboxingConfigurations.stream()
+        this.outboxerMetrics = outboxerMetrics;
+        this.topicConfigurations = outboxingConfigurations.stream()
                 .map(OutboxingConfiguration::topicConfiguration)
-                .forEach(topicConfiguration -> kafkaTemplates.computeIfAbsent(
-                        topicConfiguration.topicName(),
-                        it -> new KafkaTemplate<>(createProducerFactory(topicConfiguration))));
+                .collect(Collectors.toMap(
+                        TopicConfiguration::topicName,
+                        Function.identity(),
+                        (first, second) -> first));
+
+        topicConfigurations.values().forEach(it -> validateClaimTimeout(it, outboxingProperties.getClaimTimeoutMs()));
     }
 
     public KafkaTemplate<?, ?> getTemplate(String topic) {
-        return Optional.ofNullable(kafkaTemplates.get(topic))
+        TopicConfiguration topicConfiguration = Optional.ofNullable(topicConfigurations.get(topic))
                 .orElseThrow(() -> new KafkaTemplateNotFoundException(topic));
+        return kafkaTemplates.computeIfAbsent(topic, it -> createTemplate(topicConfiguration));
+    }
+
+    private KafkaTemplate<?, ?> createTemplate(TopicConfiguration topicConfiguration) {
+        ProducerFactory<?, ?> producerFactory = createProducerFactory(topicConfiguration);
+
+        // Producer factory itself is cheap, actual producer is created (and shared by the template) on first use.
+        Timer.Sample sample = outboxerMetrics.start();
+        producerFactory.createProducer();
+        long durationNanos = outboxerMetrics.recordKafkaProducerCreation(sample, topicConfiguration.topicName());
+        log.debug("Created kafka producer for {} in {} ms", topicConfiguration.topicName(), durationNanos / 1_000_000);
+
+        return new KafkaTemplate<>(producerFactory);
+    }
+
+    /**
+     * Claim has to outlive producer retries, otherwise message still being retried is claimed and sent again.
+     */
+    private void validateClaimTimeout(TopicConfiguration topicConfiguration, long claimTimeoutMs) {
+        long deliveryTimeoutMs = Optional.ofNullable(
+                        createProducerConfig(topicConfiguration).get(ProducerConfig.DELIVERY_TIMEOUT_MS_CONFIG))
+                .map(it -> Long.parseLong(it.toString()))
+                .orElse(DEFAULT_DELIVERY_TIMEOUT_MS);
+
+        if (claimTimeoutMs <= deliveryTimeoutMs) {
+            throw new ClaimTimeoutTooShortException(topicConfiguration.topicName(), claimTimeoutMs, deliveryTimeoutMs);
+        }
     }
 
     private ProducerFactory<?, ?> createProducerFactory(TopicConfiguration topicConfiguration) {
+        return new DefaultKafkaProducerFactory<>(createProducerConfig(topicConfiguration));
+    }
+
+    private Map<String, Object> createProducerConfig(TopicConfiguration topicConfiguration) {
 
         Map<String, Object> configProps = new HashMap<>();
         configProps.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, kafkaProducerProperties.getBootstrapServers());
@@ -45,6 +96,6 @@ public class KafkaTemplateRegistry {
 
         topicConfiguration.producerPropertiesCustomizer().accept(configProps);
 
-        return new DefaultKafkaProducerFactory<>(configProps);
+        return configProps;
     }
 }
@@ -2,6 +2,10 @@ package com.decodetamination.messageoutboxer;
 
 import lombok.Value;
 
+/**
+ * Outboxed message. Payload is either held in {@code serialized} or, when stored out of line, in
+ * {@link PayloadStore} under {@code payloadReference}.
+ */
 @Value
 public class Message<T> {
 
@@ -9,4 +13,5 @@ public class Message<T> {
     Class<T> clazz;
     String topic;
     byte[] serialized;
+    String payloadReference;
 }
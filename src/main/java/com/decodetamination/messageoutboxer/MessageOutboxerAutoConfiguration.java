@@ -0,0 +1,75 @@
+package com.decodetamination.messageoutboxer;
+
+import net.javacrumbs.shedlock.core.LockProvider;
+import net.javacrumbs.shedlock.provider.jdbctemplate.JdbcTemplateLockProvider;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.JdbcTemplateAutoConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import javax.sql.DataSource;
+import java.nio.file.Path;
+
+/**
+ * Store, scheduler lock and payload store beans. Auto-configuration runs after user configuration, so each of them
+ * backs off reliably when application defines own bean of the same type.
+ */
+@AutoConfiguration(after = {DataSourceAutoConfiguration.class, JdbcTemplateAutoConfiguration.class})
+@ConditionalOnBean(MessageOutboxingConfiguration.class)
+public class MessageOutboxerAutoConfiguration {
+
+    private static final String STORE_TYPE_PROPERTY = "message-outboxer.store.type";
+
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnExpression("'${" + STORE_TYPE_PROPERTY + ":postgresql}' != 'in-memory'")
+    public LockProvider lockProvider(DataSource dataSource) {
+        return new JdbcTemplateLockProvider(dataSource);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(name = STORE_TYPE_PROPERTY, havingValue = "in-memory")
+    public LockProvider inMemoryLockProvider() {
+        return new InMemoryLockProvider();
+    }
+
+    @Bean
+    @ConditionalOnMissingBean(MessageRepository.class)
+    @ConditionalOnProperty(name = STORE_TYPE_PROPERTY, havingValue = "postgresql", matchIfMissing = true)
+    public MessageRepository postgreSqlMessageRepository(NamedParameterJdbcTemplate namedParameterJdbcTemplate,
+                                                         OutboxerMetrics outboxerMetrics,
+                                                         SchemaProperties schemaProperties) {
+        return new PostgreSqlMessageRepository(
+                namedParameterJdbcTemplate, outboxerMetrics, schemaProperties.isCheckEnabled());
+    }
+
+    @Bean
+    @ConditionalOnMissingBean(MessageRepository.class)
+    @ConditionalOnProperty(name = STORE_TYPE_PROPERTY, havingValue = "mysql")
+    public MessageRepository mySqlMessageRepository(NamedParameterJdbcTemplate namedParameterJdbcTemplate,
+                                                    OutboxerMetrics outboxerMetrics,
+                                                    SchemaProperties schemaProperties) {
+        return new MySqlMessageRepository(
+                namedParameterJdbcTemplate, outboxerMetrics, schemaProperties.isCheckEnabled());
+    }
+
+    @Bean
+    @ConditionalOnMissingBean(MessageRepository.class)
+    @ConditionalOnProperty(name = STORE_TYPE_PROPERTY, havingValue = "in-memory")
+    public MessageRepository inMemoryMessageRepository() {
+        return new InMemoryMessageRepository();
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty("message-outboxer.payload-store.directory")
+    public PayloadStore payloadStore(PayloadStoreProperties payloadStoreProperties) {
+        return new FileSystemPayloadStore(Path.of(payloadStoreProperties.getDirectory()));
+    }
+}
@@ -1,9 +1,9 @@
 package com.decodetamination.messageoutboxer;
 
 import lombok.RequiredArgsConstructor;
-import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
 import net.javacrumbs.shedlock.spring.annotation.SchedulerLock;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.kafka.support.KafkaHeaders;
 import org.springframework.messaging.support.MessageBuilder;
@@ -11,9 +11,15 @@ import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.time.Duration;
 import java.util.Collection;
 import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 @Slf4j
 @Component
@@ -23,53 +29,118 @@ public class MessageOutboxerService {
     private final MessageRepository messageRepository;
     private final OutboxingConfigurationRegistry outboxingConfigurationRegistry;
     private final KafkaTemplateRegistry kafkaTemplateRegistry;
+    private final OutboxingProperties outboxingProperties;
+    private final ObjectProvider<PayloadStore> payloadStore;
 
     @Transactional(propagation = Propagation.MANDATORY)
-    public <T> void saveToOutbox(Collection<T> message) {
-        message.forEach(this::saveToOutbox);
+    public <T> void saveToOutbox(Collection<T> payloads) {
+        List<Message<?>> messages = payloads.stream()
+                .<Message<?>>map(this::toMessage)
+                .toList();
+        messageRepository.saveAll(messages);
     }
 
     @Transactional(propagation = Propagation.MANDATORY)
     public <T> void saveToOutbox(T payload) {
+        messageRepository.saveAll(List.of(toMessage(payload)));
+    }
+
+    public BacklogStats backlogStats() {
+        return messageRepository.backlogStats();
+    }
+
+    private <T> Message<T> toMessage(T payload) {
         OutboxingConfiguration<T, ?> outboxingConfiguration = outboxingConfigurationRegistry.get(payload.getClass());
-        Message<T> message = toMessage(payload, outboxingConfiguration);
-        messageRepository.save(message);
+        return toMessage(payload, outboxingConfiguration);
     }
 
     private <T> Message<T> toMessage(T payload, OutboxingConfiguration<T, ?> outboxingConfiguration) {
+        byte[] serialized = outboxingConfiguration.serializeMessage(payload);
+        boolean storedOutOfLine = serialized.length > outboxingConfiguration.payloadSizeThreshold();
+
         return new Message(
                 null,
                 payload.getClass(),
                 outboxingConfiguration.topicConfiguration().topicName(),
-                outboxingConfiguration.serializeMessage(payload));
+                storedOutOfLine ? null : serialized,
+                storedOutOfLine ? storePayload(serialized) : null);
+    }
+
+    private String storePayload(byte[] serialized) {
+        String reference = payloadStore.getObject().store(serialized);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_ROLLED_BACK) {
+                    payloadStore.getObject().delete(reference);
+                }
+            }
+        });
+        return reference;
     }
 
     @Scheduled(fixedDelayString = "${message-outboxer.outboxing.delay-ms}")
     @SchedulerLock(name = "MessageOutboxerService_scheduledSendFromMessageOutbox", lockAtMostFor = "PT10S")
     public void scheduledSendFromMessageOutbox() {
-        List<Message<?>> messages = messageRepository.getAll();
+        List<Message<?>> messages = messageRepository.claimBatch(
+                outboxingProperties.getBatchSize(),
+                Duration.ofMillis(outboxingProperties.getClaimTimeoutMs()));
         log.debug("Found {} messages in message outbox, sending...", messages.size());
 
-        messages.forEach(this::sendMessage);
+        List<CompletableFuture<Optional<Message<?>>>> sent = messages.stream()
+                .map(this::sendMessage)
+                .toList();
+
+        // Failed sends complete with empty result, so joining never throws and the whole batch is acknowledged
+        // here, on the scheduler thread, instead of on kafka producer thread.
+        List<Message<?>> sentMessages = sent.stream()
+                .map(CompletableFuture::join)
+                .flatMap(Optional::stream)
+                .toList();
+
+        try {
+            deleteSent(sentMessages);
+        } catch (Exception e) {
+            log.error("Deleting {} sent messages from message outbox failed, they will be sent again",
+                    sentMessages.size(), e);
+        }
     }
 
-    @SneakyThrows
-    private void sendMessage(Message<?> message) {
-        KafkaTemplate<?, ?> kafkaTemplate = kafkaTemplateRegistry.getTemplate(message.getTopic());
-
-        Object deserialized = getMessageSource(message);
-        org.springframework.messaging.Message<?> kafkaMessage = createMessage(message, deserialized);
+    private void deleteSent(List<Message<?>> messages) {
+        messageRepository.deleteAll(messages);
+        messages.stream()
+                .map(Message::getPayloadReference)
+                .filter(Objects::nonNull)
+                .forEach(reference -> payloadStore.getObject().delete(reference));
+    }
 
-        kafkaTemplate.send(kafkaMessage).whenComplete((result, exception) -> {
-            if (exception == null) {
-                messageRepository.delete(message);
-            }
-        });
+    private CompletableFuture<Optional<Message<?>>> sendMessage(Message<?> message) {
+        try {
+            KafkaTemplate<?, ?> kafkaTemplate = kafkaTemplateRegistry.getTemplate(message.getTopic());
+
+            Object deserialized = getMessageSource(message);
+            org.springframework.messaging.Message<?> kafkaMessage = createMessage(message, deserialized);
+
+            return kafkaTemplate.send(kafkaMessage).handle((result, exception) -> {
+                if (exception != null) {
+                    log.error("Sending message {} from message outbox failed", message.getId(), exception);
+                    return Optional.empty();
+                }
+                return Optional.of(message);
+            });
+        } catch (Exception e) {
+            log.error("Preparing message {} from message outbox for sending failed", message.getId(), e);
+            return CompletableFuture.completedFuture(Optional.empty());
+        }
     }
 
     private Object getMessageSource(Message<?> message) {
         OutboxingConfiguration<?, ?> outboxingConfiguration = outboxingConfigurationRegistry.get(message.getClazz());
-        return outboxingConfiguration.deserializeMessage(message.getSerialized());
+        byte[] serialized = message.getPayloadReference() == null
+                ? message.getSerialized()
+                : payloadStore.getObject().load(message.getPayloadReference());
+        return outboxingConfiguration.deserializeMessage(serialized);
     }
 
     private org.springframework.messaging.Message<?> createMessage(Message<?> message, Object deserialized) {
@@ -1,25 +1,19 @@
 package com.decodetamination.messageoutboxer;
 
-import net.javacrumbs.shedlock.core.LockProvider;
-import net.javacrumbs.shedlock.provider.jdbctemplate.JdbcTemplateLockProvider;
 import net.javacrumbs.shedlock.spring.annotation.EnableSchedulerLock;
-import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
-import org.springframework.context.annotation.Bean;
+import org.springframework.boot.autoconfigure.AutoConfigurationExcludeFilter;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.FilterType;
 import org.springframework.scheduling.annotation.EnableScheduling;
 
-import javax.sql.DataSource;
-
 @Configuration
-@ComponentScan("com.decodetamination.messageoutboxer")
+@ComponentScan(
+        value = "com.decodetamination.messageoutboxer",
+        excludeFilters = @ComponentScan.Filter(
+                type = FilterType.CUSTOM,
+                classes = AutoConfigurationExcludeFilter.class))
 @EnableScheduling
 @EnableSchedulerLock(defaultLockAtMostFor = "PT5M")
 public class MessageOutboxingConfiguration {
-
-    @Bean
-    @ConditionalOnMissingBean
-    public LockProvider lockProvider(DataSource dataSource) {
-        return new JdbcTemplateLockProvider(dataSource);
-    }
 }
@@ -0,0 +1,110 @@
+package com.decodetamination.messageoutboxer;
+
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.StringJoiner;
+
+/**
+ * MySQL 8 store. Messages are inserted with multi-row inserts, chunked by row count and by payload bytes to keep
+ * statements well below default {@code max_allowed_packet} (64 MB); message over the byte limit is inserted alone.
+ * MySQL can not update from a limited subquery on the same table, so claiming selects rows with
+ * {@code skip locked} and marks them in one transaction.
+ */
+public class MySqlMessageRepository extends AbstractJdbcMessageRepository {
+
+    private static final String INSERT =
+            "insert into message_outbox (class, topic, serialized, payload_reference) values ";
+    private static final String SELECT_CLAIMABLE = """
+            select id, class, topic, serialized, payload_reference from message_outbox
+            where claimed_until is null or claimed_until < now(3)
+            order by id asc
+            limit :limit
+            for update skip locked
+            """;
+    private static final String CLAIM_BY_IDS = """
+            update message_outbox set claimed_until = timestampadd(microsecond, :claim_timeout_us, now(3))
+            where id in (:ids)
+            """;
+    private static final String CLAIM_TIMEOUT_US_PARAMETER = "claim_timeout_us";
+    private static final int ROWS_PER_INSERT = 500;
+    private static final long BYTES_PER_INSERT = 16 * 1024 * 1024;
+
+    private final TransactionTemplate transactionTemplate;
+
+    public MySqlMessageRepository(NamedParameterJdbcTemplate namedParameterJdbcTemplate,
+                                  OutboxerMetrics outboxerMetrics,
+                                  boolean schemaCheckEnabled) {
+        super(namedParameterJdbcTemplate, outboxerMetrics, schemaCheckEnabled);
+        this.transactionTemplate = new TransactionTemplate(
+                new DataSourceTransactionManager(namedParameterJdbcTemplate.getJdbcTemplate().getDataSource()));
+    }
+
+    @Override
+    protected String schemaScript(int version) {
+        return version == 1 ? "outboxer-schema-mysql.sql" : "outboxer-schema-mysql-v" + version + ".sql";
+    }
+
+    @Override
+    public void saveAll(Collection<Message<?>> messages) {
+        List<Message<?>> chunk = new ArrayList<>(Math.min(messages.size(), ROWS_PER_INSERT));
+        long chunkBytes = 0;
+        for (Message<?> message : messages) {
+            long messageBytes = message.getSerialized() == null ? 0 : message.getSerialized().length;
+            if (!chunk.isEmpty() && chunkBytes + messageBytes > BYTES_PER_INSERT) {
+                insert(chunk);
+                chunk.clear();
+                chunkBytes = 0;
+            }
+            chunk.add(message);
+            chunkBytes += messageBytes;
+            if (chunk.size() == ROWS_PER_INSERT) {
+                insert(chunk);
+                chunk.clear();
+                chunkBytes = 0;
+            }
+        }
+        if (!chunk.isEmpty()) {
+            insert(chunk);
+        }
+    }
+
+    @Override
+    public List<Message<?>> claimBatch(int batchSize, Duration claimTimeout) {
+        return transactionTemplate.execute(status -> {
+            List<Message<?>> messages = namedParameterJdbcTemplate.query(
+                    SELECT_CLAIMABLE,
+                    new MapSqlParameterSource(LIMIT_PARAMETER, batchSize),
+                    this::map);
+            if (!messages.isEmpty()) {
+                MapSqlParameterSource mapSqlParameterSource = new MapSqlParameterSource();
+                mapSqlParameterSource.addValue(IDS_PARAMETER, messages.stream().map(Message::getId).toList());
+                mapSqlParameterSource.addValue(CLAIM_TIMEOUT_US_PARAMETER, claimTimeout.toNanos() / 1_000);
+                namedParameterJdbcTemplate.update(CLAIM_BY_IDS, mapSqlParameterSource);
+            }
+            return messages;
+        });
+    }
+
+    private void insert(List<Message<?>> messages) {
+        StringJoiner values = new StringJoiner(", ", INSERT, "");
+        MapSqlParameterSource mapSqlParameterSource = new MapSqlParameterSource();
+
+        for (int i = 0; i < messages.size(); i++) {
+            Message<?> message = messages.get(i);
+            values.add("(:class" + i + ", :topic" + i + ", :serialized" + i + ", :payload_reference" + i + ")");
+            mapSqlParameterSource.addValue(CLASS_COLUMN + i, message.getClazz().getName());
+            mapSqlParameterSource.addValue(TOPIC_COLUMN + i, message.getTopic());
+            mapSqlParameterSource.addValue(SERIALIZED_COLUMN + i, message.getSerialized());
+            mapSqlParameterSource.addValue(PAYLOAD_REFERENCE_COLUMN + i, message.getPayloadReference());
+        }
+
+        namedParameterJdbcTemplate.update(values.toString(), mapSqlParameterSource);
+    }
+}
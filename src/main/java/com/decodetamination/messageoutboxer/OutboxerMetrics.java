@@ -0,0 +1,48 @@
+package com.decodetamination.messageoutboxer;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+
+/**
+ * Startup and lazy initialization timings. Recorded to application {@link MeterRegistry} or to global registry
+ * if there is none.
+ */
+@Component
+public class OutboxerMetrics {
+
+    private static final String SCHEMA_CHECK_TIMER = "message-outboxer.startup.schema-check";
+    private static final String KAFKA_PRODUCER_CREATION_TIMER = "message-outboxer.kafka-producer.creation";
+
+    private final MeterRegistry meterRegistry;
+
+    public OutboxerMetrics(ObjectProvider<MeterRegistry> meterRegistry) {
+        this.meterRegistry = meterRegistry.getIfAvailable(() -> Metrics.globalRegistry);
+    }
+
+    public Timer.Sample start() {
+        return Timer.start(meterRegistry);
+    }
+
+    public long recordSchemaCheck(Timer.Sample sample, SchemaCheckOutcome outcome) {
+        return sample.stop(Timer.builder(SCHEMA_CHECK_TIMER)
+                .tag("outcome", outcome.name().toLowerCase(Locale.ROOT))
+                .register(meterRegistry));
+    }
+
+    public long recordKafkaProducerCreation(Timer.Sample sample, String topic) {
+        return sample.stop(Timer.builder(KAFKA_PRODUCER_CREATION_TIMER)
+                .tag("topic", topic)
+                .register(meterRegistry));
+    }
+
+    public enum SchemaCheckOutcome {
+        SKIPPED,
+        CURRENT,
+        INITIALIZED
+    }
+}
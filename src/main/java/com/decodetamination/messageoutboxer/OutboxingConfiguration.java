@@ -42,6 +42,16 @@ public interface OutboxingConfiguration<T, K> {
      */
     T deserializeMessage(byte[] serialized);
 
+    /**
+     * Defines serialized message size (in bytes) above which message is stored in {@link PayloadStore}
+     * and outbox holds only reference to it. Such payload is loaded only when message is being sent.
+     *
+     * @return Payload size threshold.
+     */
+    default int payloadSizeThreshold() {
+        return Integer.MAX_VALUE;
+    }
+
     /**
      * Defines kafka topic related configuration like topic name, serializers and deserializers.
      *
@@ -1,5 +1,6 @@
 package com.decodetamination.messageoutboxer;
 
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.stereotype.Component;
 
 import java.util.List;
@@ -13,7 +14,17 @@ public class OutboxingConfigurationRegistry {
 
     private final Map<Class, OutboxingConfiguration> outboxingConfigurations;
 
-    public OutboxingConfigurationRegistry(List<OutboxingConfiguration> outboxingConfigurations) {
+    public OutboxingConfigurationRegistry(List<OutboxingConfiguration> outboxingConfigurations,
+                                          ObjectProvider<PayloadStore> payloadStore) {
+        if (payloadStore.getIfAvailable() == null) {
+            outboxingConfigurations.stream()
+                    .filter(it -> it.payloadSizeThreshold() < Integer.MAX_VALUE)
+                    .findAny()
+                    .ifPresent(it -> {
+                        throw new PayloadStoreNotConfiguredException(it.supports());
+                    });
+        }
+
         this.outboxingConfigurations = outboxingConfigurations.stream()
                 .collect(Collectors.toMap(OutboxingConfiguration::supports, Function.identity()));
     }
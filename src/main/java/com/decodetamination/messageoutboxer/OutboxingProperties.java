@@ -0,0 +1,14 @@
+package com.decodetamination.messageoutboxer;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Data
+@Configuration
+@ConfigurationProperties("message-outboxer.outboxing")
+public class OutboxingProperties {
+
+    private int batchSize = 1000;
+    private long claimTimeoutMs = 180_000;
+}
@@ -0,0 +1,31 @@
+package com.decodetamination.messageoutboxer;
+
+/**
+ * Stores payloads larger than {@link OutboxingConfiguration#payloadSizeThreshold()} out of outbox table
+ * (claim-check). Can be replaced by defining own bean of this type.
+ */
+public interface PayloadStore {
+
+    /**
+     * Stores payload.
+     *
+     * @param payload Serialized message source.
+     * @return Reference under which payload is stored.
+     */
+    String store(byte[] payload);
+
+    /**
+     * Loads payload.
+     *
+     * @param reference Reference returned when payload was stored.
+     * @return Serialized message source.
+     */
+    byte[] load(String reference);
+
+    /**
+     * Removes payload once message was sent.
+     *
+     * @param reference Reference returned when payload was stored.
+     */
+    void delete(String reference);
+}
@@ -0,0 +1,9 @@
+package com.decodetamination.messageoutboxer;
+
+public class PayloadStoreNotConfiguredException extends RuntimeException {
+
+    public PayloadStoreNotConfiguredException(Class<?> clazz) {
+        super("No payload store configured for payloads above size threshold of " + clazz.getName()
+                + ", set message-outboxer.payload-store.directory or define PayloadStore bean");
+    }
+}
@@ -0,0 +1,13 @@
+package com.decodetamination.messageoutboxer;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Data
+@Configuration
+@ConfigurationProperties("message-outboxer.payload-store")
+public class PayloadStoreProperties {
+
+    private String directory;
+}
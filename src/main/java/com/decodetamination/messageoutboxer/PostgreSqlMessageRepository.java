@@ -0,0 +1,72 @@
+package com.decodetamination.messageoutboxer;
+
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+
+public class PostgreSqlMessageRepository extends AbstractJdbcMessageRepository {
+
+    private static final String INSERT = """
+            insert into message_outbox (class, topic, serialized, payload_reference)
+            values (:class, :topic, :serialized, :payload_reference)
+            """;
+    private static final String CLAIM_BATCH = """
+            update message_outbox set claimed_until = now() + :claim_timeout_ms * interval '1 millisecond'
+            where id in (
+                select id from message_outbox
+                where claimed_until is null or claimed_until < now()
+                order by id asc
+                limit :limit
+                for update skip locked)
+            returning id, class, topic, serialized, payload_reference
+            """;
+    private static final String CLAIM_TIMEOUT_MS_PARAMETER = "claim_timeout_ms";
+
+    public PostgreSqlMessageRepository(NamedParameterJdbcTemplate namedParameterJdbcTemplate,
+                                       OutboxerMetrics outboxerMetrics,
+                                       boolean schemaCheckEnabled) {
+        super(namedParameterJdbcTemplate, outboxerMetrics, schemaCheckEnabled);
+    }
+
+    @Override
+    protected String schemaScript(int version) {
+        return version == 1 ? "outboxer-schema.sql" : "outboxer-schema-v" + version + ".sql";
+    }
+
+    @Override
+    public void saveAll(Collection<Message<?>> messages) {
+        if (messages.isEmpty()) {
+            return;
+        }
+
+        SqlParameterSource[] batch = messages.stream()
+                .map(this::getMapSqlParameterSource)
+                .toArray(SqlParameterSource[]::new);
+        namedParameterJdbcTemplate.batchUpdate(INSERT, batch);
+    }
+
+    @Override
+    public List<Message<?>> claimBatch(int batchSize, Duration claimTimeout) {
+        MapSqlParameterSource mapSqlParameterSource = new MapSqlParameterSource();
+        mapSqlParameterSource.addValue(LIMIT_PARAMETER, batchSize);
+        mapSqlParameterSource.addValue(CLAIM_TIMEOUT_MS_PARAMETER, claimTimeout.toMillis());
+
+        return namedParameterJdbcTemplate.query(CLAIM_BATCH, mapSqlParameterSource, this::map).stream()
+                .sorted(Comparator.comparing(Message::getId))
+                .toList();
+    }
+
+    private MapSqlParameterSource getMapSqlParameterSource(Message<?> message) {
+        MapSqlParameterSource mapSqlParameterSource = new MapSqlParameterSource();
+        mapSqlParameterSource.addValue(CLASS_COLUMN, message.getClazz().getName());
+        mapSqlParameterSource.addValue(TOPIC_COLUMN, message.getTopic());
+        mapSqlParameterSource.addValue(SERIALIZED_COLUMN, message.getSerialized());
+        mapSqlParameterSource.addValue(PAYLOAD_REFERENCE_COLUMN, message.getPayloadReference());
+        return mapSqlParameterSource;
+    }
+}
@@ -0,0 +1,12 @@
+SET @add_payload_reference = (SELECT IF(COUNT(*) = 0,
+                                        'ALTER TABLE message_outbox ADD COLUMN payload_reference VARCHAR(255) NULL',
+                                        'DO 0')
+                              FROM information_schema.columns
+                              WHERE table_schema = DATABASE()
+                                AND table_name = 'message_outbox'
+                                AND column_name = 'payload_reference');
+PREPARE add_payload_reference FROM @add_payload_reference;
+EXECUTE add_payload_reference;
+DEALLOCATE PREPARE add_payload_reference;
+
+INSERT IGNORE INTO message_outboxer_schema_version (version) VALUES (2);
@@ -0,0 +1,12 @@
+SET @add_claimed_until = (SELECT IF(COUNT(*) = 0,
+                                    'ALTER TABLE message_outbox ADD COLUMN claimed_until TIMESTAMP(3) NULL',
+                                    'DO 0')
+                          FROM information_schema.columns
+                          WHERE table_schema = DATABASE()
+                            AND table_name = 'message_outbox'
+                            AND column_name = 'claimed_until');
+PREPARE add_claimed_until FROM @add_claimed_until;
+EXECUTE add_claimed_until;
+DEALLOCATE PREPARE add_claimed_until;
+
+INSERT IGNORE INTO message_outboxer_schema_version (version) VALUES (3);
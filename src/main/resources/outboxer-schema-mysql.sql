@@ -0,0 +1,26 @@
+CREATE TABLE IF NOT EXISTS message_outbox
+(
+    id                 BIGINT       NOT NULL AUTO_INCREMENT,
+    class              VARCHAR(255) NOT NULL,
+    topic              VARCHAR(255) NOT NULL,
+    serialized         LONGBLOB,
+    creation_date_time TIMESTAMP(3) DEFAULT CURRENT_TIMESTAMP(3),
+    CONSTRAINT message_outbox_pk PRIMARY KEY (id)
+);
+
+CREATE TABLE IF NOT EXISTS shedlock
+(
+    name       VARCHAR(64)  NOT NULL,
+    lock_until TIMESTAMP(3) NULL,
+    locked_at  TIMESTAMP(3) NULL,
+    locked_by  VARCHAR(255) NOT NULL,
+    CONSTRAINT shedlock_pk PRIMARY KEY (name)
+);
+
+CREATE TABLE IF NOT EXISTS message_outboxer_schema_version
+(
+    version INT NOT NULL,
+    CONSTRAINT message_outboxer_schema_version_pk PRIMARY KEY (version)
+);
+
+INSERT IGNORE INTO message_outboxer_schema_version (version) VALUES (1);
@@ -0,0 +1,3 @@
+ALTER TABLE message_outbox ADD COLUMN IF NOT EXISTS payload_reference TEXT;
+
+INSERT INTO message_outboxer_schema_version (version) VALUES (2) ON CONFLICT DO NOTHING;
@@ -0,0 +1,3 @@
+ALTER TABLE message_outbox ADD COLUMN IF NOT EXISTS claimed_until TIMESTAMPTZ;
+
+INSERT INTO message_outboxer_schema_version (version) VALUES (3) ON CONFLICT DO NOTHING;
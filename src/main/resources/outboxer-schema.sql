@@ -16,3 +16,11 @@ CREATE TABLE IF NOT EXISTS shedlock
     locked_by  VARCHAR(255) NULL,
     CONSTRAINT shedlock_pk PRIMARY KEY (name)
 );
+
+CREATE TABLE IF NOT EXISTS message_outboxer_schema_version
+(
+    version INT NOT NULL,
+    CONSTRAINT message_outboxer_schema_version_pk PRIMARY KEY (version)
+);
+
+INSERT INTO message_outboxer_schema_version (version) VALUES (1) ON CONFLICT DO NOTHING;
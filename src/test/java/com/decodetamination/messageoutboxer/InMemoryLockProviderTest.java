@@ -0,0 +1,39 @@
+package com.decodetamination.messageoutboxer;
+
+import net.javacrumbs.shedlock.core.LockConfiguration;
+import net.javacrumbs.shedlock.core.SimpleLock;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class InMemoryLockProviderTest {
+
+    private final InMemoryLockProvider inMemoryLockProvider = new InMemoryLockProvider();
+
+    @Test
+    public void lockIsGrantedOnlyOnceUntilUnlocked() {
+        Optional<SimpleLock> lock = inMemoryLockProvider.lock(lockConfiguration(Duration.ZERO));
+
+        assertThat(lock).isPresent();
+        assertThat(inMemoryLockProvider.lock(lockConfiguration(Duration.ZERO))).isEmpty();
+
+        lock.get().unlock();
+
+        assertThat(inMemoryLockProvider.lock(lockConfiguration(Duration.ZERO))).isPresent();
+    }
+
+    @Test
+    public void lockIsHeldAtLeastForLockAtLeastFor() {
+        inMemoryLockProvider.lock(lockConfiguration(Duration.ofMinutes(1))).orElseThrow().unlock();
+
+        assertThat(inMemoryLockProvider.lock(lockConfiguration(Duration.ZERO))).isEmpty();
+    }
+
+    private LockConfiguration lockConfiguration(Duration lockAtLeastFor) {
+        return new LockConfiguration(Instant.now(), "lock", Duration.ofMinutes(5), lockAtLeastFor);
+    }
+}
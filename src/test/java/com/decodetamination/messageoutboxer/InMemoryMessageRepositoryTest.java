@@ -0,0 +1,79 @@
+package com.decodetamination.messageoutboxer;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class InMemoryMessageRepositoryTest {
+
+    private static final Duration CLAIM_TIMEOUT = Duration.ofMinutes(1);
+
+    private final InMemoryMessageRepository inMemoryMessageRepository = new InMemoryMessageRepository();
+
+    @Test
+    public void claimBatchReturnsOldestMessagesUpToBatchSize() {
+        save(3);
+
+        List<Message<?>> claimed = inMemoryMessageRepository.claimBatch(2, CLAIM_TIMEOUT);
+
+        assertThat(claimed).extracting(Message::getId).containsExactly(1L, 2L);
+        assertThat(claimed).extracting(Message::getSerialized).containsExactly(new byte[]{0}, new byte[]{1});
+    }
+
+    @Test
+    public void claimedMessagesAreNotClaimedAgain() {
+        save(3);
+
+        inMemoryMessageRepository.claimBatch(2, CLAIM_TIMEOUT);
+
+        assertThat(inMemoryMessageRepository.claimBatch(10, CLAIM_TIMEOUT))
+                .extracting(Message::getId)
+                .containsExactly(3L);
+        assertThat(inMemoryMessageRepository.claimBatch(10, CLAIM_TIMEOUT)).isEmpty();
+    }
+
+    @Test
+    public void messagesWithExpiredClaimAreClaimedAgain() {
+        save(2);
+
+        inMemoryMessageRepository.claimBatch(10, Duration.ofMillis(-1));
+
+        assertThat(inMemoryMessageRepository.claimBatch(10, CLAIM_TIMEOUT))
+                .extracting(Message::getId)
+                .containsExactly(1L, 2L);
+    }
+
+    @Test
+    public void deleteAllRemovesMessages() {
+        save(3);
+        List<Message<?>> claimed = inMemoryMessageRepository.claimBatch(2, CLAIM_TIMEOUT);
+
+        inMemoryMessageRepository.deleteAll(claimed);
+
+        assertThat(inMemoryMessageRepository.backlogStats().size()).isEqualTo(1);
+        assertThat(inMemoryMessageRepository.claimBatch(10, Duration.ofMillis(-1)))
+                .extracting(Message::getId)
+                .containsExactly(3L);
+    }
+
+    @Test
+    public void backlogStatsDescribeWaitingMessages() {
+        assertThat(inMemoryMessageRepository.backlogStats()).isEqualTo(new BacklogStats(0, null));
+
+        save(2);
+
+        BacklogStats backlogStats = inMemoryMessageRepository.backlogStats();
+        assertThat(backlogStats.size()).isEqualTo(2);
+        assertThat(backlogStats.oldestCreationTime()).isNotNull();
+    }
+
+    private void save(int count) {
+        inMemoryMessageRepository.saveAll(IntStream.range(0, count)
+                .<Message<?>>mapToObj(i -> new Message<>(null, String.class, "topic", new byte[]{(byte) i}, null))
+                .toList());
+    }
+}
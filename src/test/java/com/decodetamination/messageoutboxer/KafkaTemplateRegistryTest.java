@@ -0,0 +1,100 @@
+package com.decodetamination.messageoutboxer;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class KafkaTemplateRegistryTest {
+
+    private static final String TOPIC_NAME = "registry_test_topic";
+    private static final String PRODUCER_CREATION_TIMER = "message-outboxer.kafka-producer.creation";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final List<KafkaTemplate<?, ?>> createdTemplates = new ArrayList<>();
+    private final KafkaTemplateRegistry kafkaTemplateRegistry = new KafkaTemplateRegistry(
+            kafkaProducerProperties(),
+            new OutboxerMetrics(new StaticListableBeanFactory(Map.of("meterRegistry", meterRegistry))
+                    .getBeanProvider(MeterRegistry.class)),
+            new OutboxingProperties(),
+            List.of(new StringOutboxingConfiguration(TOPIC_NAME)));
+
+    @AfterEach
+    public void destroyProducers() {
+        createdTemplates.forEach(it -> ((DefaultKafkaProducerFactory<?, ?>) it.getProducerFactory()).destroy());
+    }
+
+    @Test
+    public void producerIsNotCreatedOnStartup() {
+        assertThat(meterRegistry.find(PRODUCER_CREATION_TIMER).timer()).isNull();
+    }
+
+    @Test
+    public void templateIsCreatedOnFirstUseAndReused() {
+        KafkaTemplate<?, ?> kafkaTemplate = getTemplate();
+
+        assertThat(getTemplate()).isSameAs(kafkaTemplate);
+        assertThat(meterRegistry.get(PRODUCER_CREATION_TIMER).tag("topic", TOPIC_NAME).timer().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    public void unknownTopicThrowsKafkaTemplateNotFoundException() {
+        assertThatThrownBy(() -> kafkaTemplateRegistry.getTemplate("unknown_topic"))
+                .isInstanceOf(KafkaTemplateNotFoundException.class);
+        assertThat(meterRegistry.find(PRODUCER_CREATION_TIMER).timer()).isNull();
+    }
+
+    @Test
+    public void claimTimeoutNotLongerThanDeliveryTimeoutFailsFast() {
+        OutboxingProperties outboxingProperties = new OutboxingProperties();
+        outboxingProperties.setClaimTimeoutMs(120_000);
+
+        assertThatThrownBy(() -> new KafkaTemplateRegistry(
+                kafkaProducerProperties(),
+                new OutboxerMetrics(new StaticListableBeanFactory().getBeanProvider(MeterRegistry.class)),
+                outboxingProperties,
+                List.of(new StringOutboxingConfiguration(TOPIC_NAME))))
+                .isInstanceOf(ClaimTimeoutTooShortException.class);
+    }
+
+    @Test
+    public void claimTimeoutIsValidatedAgainstCustomizedDeliveryTimeout() {
+        OutboxingProperties outboxingProperties = new OutboxingProperties();
+        outboxingProperties.setClaimTimeoutMs(60_000);
+        StringOutboxingConfiguration outboxingConfiguration = new StringOutboxingConfiguration(
+                TOPIC_NAME, Integer.MAX_VALUE, it -> it.put(ProducerConfig.DELIVERY_TIMEOUT_MS_CONFIG, "30000"));
+
+        assertThat(new KafkaTemplateRegistry(
+                kafkaProducerProperties(),
+                new OutboxerMetrics(new StaticListableBeanFactory().getBeanProvider(MeterRegistry.class)),
+                outboxingProperties,
+                List.of(outboxingConfiguration)))
+                .isNotNull();
+    }
+
+    private KafkaTemplate<?, ?> getTemplate() {
+        KafkaTemplate<?, ?> kafkaTemplate = kafkaTemplateRegistry.getTemplate(TOPIC_NAME);
+        createdTemplates.add(kafkaTemplate);
+        return kafkaTemplate;
+    }
+
+    private static KafkaProducerProperties kafkaProducerProperties() {
+        KafkaProducerProperties kafkaProducerProperties = new KafkaProducerProperties();
+        kafkaProducerProperties.setBootstrapServers("localhost:9092");
+        kafkaProducerProperties.setBatchSize(1000);
+        kafkaProducerProperties.setLingerMs(0);
+        return kafkaProducerProperties;
+    }
+}
@@ -0,0 +1,89 @@
+package com.decodetamination.messageoutboxer;
+
+import net.javacrumbs.shedlock.core.LockProvider;
+import net.javacrumbs.shedlock.provider.jdbctemplate.JdbcTemplateLockProvider;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.context.ConfigurationPropertiesAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.JdbcTemplateAutoConfiguration;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+public class MessageOutboxerAutoConfigurationTest {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(
+                    ConfigurationPropertiesAutoConfiguration.class,
+                    JdbcTemplateAutoConfiguration.class,
+                    MessageOutboxerAutoConfiguration.class))
+            .withUserConfiguration(OutboxingApplication.class)
+            .withPropertyValues(
+                    "message-outboxer.outboxing.delay-ms=3600000",
+                    "message-outboxer.schema.check-enabled=false");
+
+    @Test
+    public void postgreSqlStoreIsUsedByDefault() {
+        contextRunner
+                .withBean(DataSource.class, () -> mock(DataSource.class))
+                .run(context -> {
+                    assertThat(context).getBean(MessageRepository.class)
+                            .isInstanceOf(PostgreSqlMessageRepository.class);
+                    assertThat(context).getBean(LockProvider.class).isInstanceOf(JdbcTemplateLockProvider.class);
+                });
+    }
+
+    @Test
+    public void mySqlStoreIsUsedForMySqlStoreType() {
+        contextRunner
+                .withBean(DataSource.class, () -> mock(DataSource.class))
+                .withPropertyValues("message-outboxer.store.type=mysql")
+                .run(context -> {
+                    assertThat(context).getBean(MessageRepository.class).isInstanceOf(MySqlMessageRepository.class);
+                    assertThat(context).getBean(LockProvider.class).isInstanceOf(JdbcTemplateLockProvider.class);
+                });
+    }
+
+    @Test
+    public void inMemoryStoreDoesNotNeedDataSource() {
+        contextRunner
+                .withPropertyValues("message-outboxer.store.type=in-memory")
+                .run(context -> {
+                    assertThat(context).getBean(MessageRepository.class).isInstanceOf(InMemoryMessageRepository.class);
+                    assertThat(context).getBean(LockProvider.class).isInstanceOf(InMemoryLockProvider.class);
+                });
+    }
+
+    @Test
+    public void userSuppliedMessageRepositoryIsUsed() {
+        MessageRepository messageRepository = mock(MessageRepository.class);
+
+        contextRunner
+                .withBean(DataSource.class, () -> mock(DataSource.class))
+                .withBean(MessageRepository.class, () -> messageRepository)
+                .run(context -> assertThat(context).getBean(MessageRepository.class).isSameAs(messageRepository));
+    }
+
+    @Test
+    public void nothingIsConfiguredWithoutEnableMessageOutboxing() {
+        new ApplicationContextRunner()
+                .withConfiguration(AutoConfigurations.of(MessageOutboxerAutoConfiguration.class))
+                .withPropertyValues("message-outboxer.store.type=in-memory")
+                .run(context -> assertThat(context).doesNotHaveBean(MessageRepository.class));
+    }
+
+    @Configuration
+    @EnableMessageOutboxing
+    static class OutboxingApplication {
+
+        @Bean
+        public OutboxingConfiguration<String, String> stringOutboxingConfiguration() {
+            return new StringOutboxingConfiguration("auto_configuration_test_topic");
+        }
+    }
+}
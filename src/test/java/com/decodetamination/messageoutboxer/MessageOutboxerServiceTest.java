@@ -0,0 +1,190 @@
+package com.decodetamination.messageoutboxer;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.atLeast;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+public class MessageOutboxerServiceTest {
+
+    private static final String TOPIC_NAME = "service_test_topic";
+    private static final int PAYLOAD_SIZE_THRESHOLD = 10;
+    private static final String SMALL_PAYLOAD = "small";
+    private static final String LARGE_PAYLOAD = "large payload above threshold";
+
+    @TempDir
+    private Path payloadDirectory;
+
+    private final InMemoryMessageRepository messageRepository = new InMemoryMessageRepository();
+    private final KafkaTemplate<?, ?> kafkaTemplate = mock(KafkaTemplate.class);
+    private final KafkaTemplateRegistry kafkaTemplateRegistry = mock(KafkaTemplateRegistry.class);
+    private OutboxingConfigurationRegistry outboxingConfigurationRegistry;
+    private ObjectProvider<PayloadStore> payloadStore;
+    private MessageOutboxerService messageOutboxerService;
+
+    @BeforeEach
+    public void setUp() {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerSingleton("payloadStore", new FileSystemPayloadStore(payloadDirectory));
+        payloadStore = beanFactory.getBeanProvider(PayloadStore.class);
+        outboxingConfigurationRegistry = new OutboxingConfigurationRegistry(
+                List.of(new StringOutboxingConfiguration(TOPIC_NAME, PAYLOAD_SIZE_THRESHOLD)), payloadStore);
+
+        doReturn(kafkaTemplate).when(kafkaTemplateRegistry).getTemplate(TOPIC_NAME);
+        doReturn(CompletableFuture.completedFuture(null))
+                .when(kafkaTemplate).send(any(org.springframework.messaging.Message.class));
+
+        messageOutboxerService = new MessageOutboxerService(
+                messageRepository,
+                outboxingConfigurationRegistry,
+                kafkaTemplateRegistry,
+                new OutboxingProperties(),
+                payloadStore);
+
+        TransactionSynchronizationManager.initSynchronization();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        TransactionSynchronizationManager.clear();
+    }
+
+    @Test
+    public void sentMessagesAreDeletedBeforeScheduledRunReturns() {
+        CompletableFuture<Object> pendingSend = new CompletableFuture<>();
+        doReturn(pendingSend).when(kafkaTemplate).send(any(org.springframework.messaging.Message.class));
+        CompletableFuture.delayedExecutor(100, TimeUnit.MILLISECONDS).execute(() -> pendingSend.complete(null));
+        messageOutboxerService.saveToOutbox(SMALL_PAYLOAD);
+
+        messageOutboxerService.scheduledSendFromMessageOutbox();
+
+        assertThat(messageRepository.backlogStats().size()).isZero();
+    }
+
+    @Test
+    public void failedDeleteDoesNotFailScheduledRun() {
+        MessageRepository failingRepository = mock(MessageRepository.class);
+        doReturn(List.of(new Message<>(1L, String.class, TOPIC_NAME, SMALL_PAYLOAD.getBytes(), null)))
+                .when(failingRepository).claimBatch(anyInt(), any());
+        doThrow(new IllegalStateException("database down")).when(failingRepository).deleteAll(any());
+
+        new MessageOutboxerService(
+                failingRepository,
+                outboxingConfigurationRegistry,
+                kafkaTemplateRegistry,
+                new OutboxingProperties(),
+                payloadStore)
+                .scheduledSendFromMessageOutbox();
+
+        verify(failingRepository).deleteAll(any());
+    }
+
+    @Test
+    public void smallPayloadIsStoredInline() throws IOException {
+        messageOutboxerService.saveToOutbox(SMALL_PAYLOAD);
+
+        assertThat(claimAll())
+                .singleElement()
+                .matches(it -> it.getSerialized() != null && it.getPayloadReference() == null);
+        assertThat(storedPayloads()).isEmpty();
+    }
+
+    @Test
+    public void largePayloadIsStoredOutOfLineAndRemovedOnceSent() throws IOException {
+        messageOutboxerService.saveToOutbox(LARGE_PAYLOAD);
+
+        assertThat(claimAll())
+                .singleElement()
+                .matches(it -> it.getSerialized() == null && it.getPayloadReference() != null);
+        assertThat(storedPayloads()).hasSize(1);
+
+        messageOutboxerService.scheduledSendFromMessageOutbox();
+
+        assertThat(sentPayloads()).containsExactly(LARGE_PAYLOAD);
+        assertThat(messageRepository.backlogStats().size()).isZero();
+        assertThat(storedPayloads()).isEmpty();
+    }
+
+    @Test
+    public void largePayloadIsRemovedWhenTransactionRollsBack() throws IOException {
+        messageOutboxerService.saveToOutbox(LARGE_PAYLOAD);
+
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(it -> it.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        assertThat(storedPayloads()).isEmpty();
+    }
+
+    @Test
+    public void largePayloadIsKeptWhenTransactionCommits() throws IOException {
+        messageOutboxerService.saveToOutbox(LARGE_PAYLOAD);
+
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(it -> it.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+
+        assertThat(storedPayloads()).hasSize(1);
+    }
+
+    @Test
+    public void missingPayloadDoesNotBlockOtherMessages() throws IOException {
+        messageOutboxerService.saveToOutbox(List.of(LARGE_PAYLOAD, SMALL_PAYLOAD));
+        for (Path payload : storedPayloads()) {
+            Files.delete(payload);
+        }
+
+        messageOutboxerService.scheduledSendFromMessageOutbox();
+
+        assertThat(sentPayloads()).containsExactly(SMALL_PAYLOAD);
+        assertThat(messageRepository.backlogStats().size()).isEqualTo(1);
+    }
+
+    @Test
+    public void thresholdWithoutPayloadStoreFailsFast() {
+        assertThatThrownBy(() -> new OutboxingConfigurationRegistry(
+                List.of(new StringOutboxingConfiguration(TOPIC_NAME, PAYLOAD_SIZE_THRESHOLD)),
+                new DefaultListableBeanFactory().getBeanProvider(PayloadStore.class)))
+                .isInstanceOf(PayloadStoreNotConfiguredException.class);
+    }
+
+    private List<Message<?>> claimAll() {
+        return messageRepository.claimBatch(Integer.MAX_VALUE, Duration.ofMillis(-1));
+    }
+
+    private List<Object> sentPayloads() {
+        ArgumentCaptor<org.springframework.messaging.Message<?>> sent =
+                ArgumentCaptor.forClass(org.springframework.messaging.Message.class);
+        verify(kafkaTemplate, atLeast(0)).send(sent.capture());
+        return sent.getAllValues().stream().<Object>map(org.springframework.messaging.Message::getPayload).toList();
+    }
+
+    private List<Path> storedPayloads() throws IOException {
+        try (Stream<Path> files = Files.list(payloadDirectory)) {
+            return files.toList();
+        }
+    }
+}
@@ -27,7 +27,9 @@ import static org.awaitility.Awaitility.await;
                 "message-outboxer.outboxing.delay-ms=1000",
                 "spring.datasource.driverClassName=org.testcontainers.jdbc.ContainerDatabaseDriver",
                 "spring.datasource.url=jdbc:tc:postgresql:15.3:////test-app?serverTimezone=UTC&TC_REUSABLE=true",
-                "spring.kafka.consumer.properties.spring.json.trusted.packages=*"
+                "spring.kafka.consumer.properties.spring.json.trusted.packages=*",
+                "message-outboxer.payload-store.directory=${java.io.tmpdir}/message-outboxer-it",
+                "test-app.payload-size-threshold=1024"
         })
 @EmbeddedKafka(partitions = 1)
 @Testcontainers
@@ -60,6 +62,22 @@ public class MessagingIT {
                                 .matches(payload::equals));
     }
 
+    @Test
+    public void largeMessageIsOutboxed() {
+        TestApplication.SomePayload payload = new TestApplication.SomePayload(
+                UUID.randomUUID().toString(), RandomStringUtils.randomAlphanumeric(10_000));
+
+        messageOutboxerCallerService.produceMessage(payload);
+
+        await().atMost(5L, TimeUnit.SECONDS)
+                .pollInterval(100, TimeUnit.MILLISECONDS)
+                .untilAsserted(() ->
+                        assertThat(messageCollector.poll())
+                                .isNotEmpty()
+                                .get()
+                                .matches(payload::equals));
+    }
+
     @Test
     public void unknownTopicThrowsKafkaTemplateNotFoundException() {
         assertThatThrownBy(() -> kafkaTemplateRegistry.getTemplate(RandomStringUtils.random(10)))
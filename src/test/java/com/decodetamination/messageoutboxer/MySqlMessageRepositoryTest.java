@@ -0,0 +1,89 @@
+package com.decodetamination.messageoutboxer;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class MySqlMessageRepositoryTest {
+
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate = mock(NamedParameterJdbcTemplate.class);
+    private final MySqlMessageRepository mySqlMessageRepository;
+
+    public MySqlMessageRepositoryTest() {
+        when(namedParameterJdbcTemplate.getJdbcTemplate()).thenReturn(new JdbcTemplate(mock(DataSource.class)));
+        OutboxerMetrics outboxerMetrics = new OutboxerMetrics(new StaticListableBeanFactory()
+                .getBeanProvider(MeterRegistry.class));
+        mySqlMessageRepository = new MySqlMessageRepository(namedParameterJdbcTemplate, outboxerMetrics, false);
+    }
+
+    @Test
+    public void saveAllInsertsMultipleRowsPerStatement() {
+        mySqlMessageRepository.saveAll(messages(2));
+
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<MapSqlParameterSource> parameters = ArgumentCaptor.forClass(MapSqlParameterSource.class);
+        verify(namedParameterJdbcTemplate).update(sql.capture(), parameters.capture());
+
+        assertThat(sql.getValue()).isEqualTo("insert into message_outbox (class, topic, serialized, payload_reference) "
+                + "values (:class0, :topic0, :serialized0, :payload_reference0), "
+                + "(:class1, :topic1, :serialized1, :payload_reference1)");
+        assertThat(parameters.getValue().getValue("serialized1")).isEqualTo(new byte[]{1});
+        assertThat(parameters.getValue().getValue("class0")).isEqualTo(String.class.getName());
+    }
+
+    @Test
+    public void saveAllSplitsRowsIntoChunks() {
+        mySqlMessageRepository.saveAll(messages(1001));
+
+        ArgumentCaptor<MapSqlParameterSource> parameters = ArgumentCaptor.forClass(MapSqlParameterSource.class);
+        verify(namedParameterJdbcTemplate, times(3)).update(anyString(), parameters.capture());
+
+        assertThat(parameters.getAllValues())
+                .extracting(it -> it.getParameterNames().length / 4)
+                .containsExactly(500, 500, 1);
+    }
+
+    @Test
+    public void saveAllSplitsLargePayloadsIntoChunks() {
+        byte[] serialized = new byte[6 * 1024 * 1024];
+        mySqlMessageRepository.saveAll(IntStream.range(0, 5)
+                .<Message<?>>mapToObj(i -> new Message<>(null, String.class, "topic", serialized, null))
+                .toList());
+
+        ArgumentCaptor<MapSqlParameterSource> parameters = ArgumentCaptor.forClass(MapSqlParameterSource.class);
+        verify(namedParameterJdbcTemplate, times(3)).update(anyString(), parameters.capture());
+
+        assertThat(parameters.getAllValues())
+                .extracting(it -> it.getParameterNames().length / 4)
+                .containsExactly(2, 2, 1);
+    }
+
+    @Test
+    public void saveAllWithoutMessagesDoesNothing() {
+        mySqlMessageRepository.saveAll(List.of());
+
+        verify(namedParameterJdbcTemplate, times(0)).update(anyString(), any(MapSqlParameterSource.class));
+    }
+
+    private List<Message<?>> messages(int count) {
+        return IntStream.range(0, count)
+                .<Message<?>>mapToObj(i -> new Message<>(null, String.class, "topic", new byte[]{(byte) i}, null))
+                .toList();
+    }
+}
@@ -0,0 +1,10 @@
+package com.decodetamination.messageoutboxer;
+
+import org.springframework.test.context.TestPropertySource;
+
+@TestPropertySource(properties = {
+        "message-outboxer.store.type=mysql",
+        "spring.datasource.url=jdbc:tc:mysql:8.0.33:///test-app?TC_REUSABLE=true"
+})
+public class MySqlMessagingIT extends MessagingIT {
+}
@@ -0,0 +1,157 @@
+package com.decodetamination.messageoutboxer;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.BadSqlGrammarException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.init.UncategorizedScriptException;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+public class SchemaCheckTest {
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final OutboxerMetrics outboxerMetrics = new OutboxerMetrics(
+            new StaticListableBeanFactory(Map.of("meterRegistry", meterRegistry)).getBeanProvider(MeterRegistry.class));
+
+    @Test
+    public void missingVersionTableRunsAllScripts() {
+        when(jdbcTemplate.queryForObject(anyString(), eq(Integer.class)))
+                .thenThrow(new BadSqlGrammarException("select", "select", new SQLException()));
+
+        TestMessageRepository repository = repository(true);
+        repository.initDb();
+
+        assertThat(repository.executedScripts).containsExactly("v1", "v2", "v3");
+        assertThat(outcomeCount("initialized")).isEqualTo(1);
+    }
+
+    @Test
+    public void currentVersionRunsNoScripts() {
+        when(jdbcTemplate.queryForObject(anyString(), eq(Integer.class))).thenReturn(3);
+
+        TestMessageRepository repository = repository(true);
+        repository.initDb();
+
+        assertThat(repository.executedScripts).isEmpty();
+        assertThat(outcomeCount("current")).isEqualTo(1);
+    }
+
+    @Test
+    public void disabledCheckDoesNotTouchDatabase() {
+        TestMessageRepository repository = repository(false);
+        repository.initDb();
+
+        assertThat(repository.executedScripts).isEmpty();
+        assertThat(outcomeCount("skipped")).isEqualTo(1);
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    public void olderVersionRunsOnlyNewerScripts() {
+        when(jdbcTemplate.queryForObject(anyString(), eq(Integer.class))).thenReturn(1);
+
+        TestMessageRepository repository = repository(true);
+        repository.initDb();
+
+        assertThat(repository.executedScripts).containsExactly("v2", "v3");
+        assertThat(outcomeCount("initialized")).isEqualTo(1);
+    }
+
+    @Test
+    public void failedVersionReadIsNotTreatedAsMissingSchema() {
+        when(jdbcTemplate.queryForObject(anyString(), eq(Integer.class)))
+                .thenThrow(new DataAccessResourceFailureException("connection refused"));
+
+        TestMessageRepository repository = repository(true);
+
+        assertThatThrownBy(repository::initDb).isInstanceOf(DataAccessResourceFailureException.class);
+        assertThat(repository.executedScripts).isEmpty();
+    }
+
+    @Test
+    public void concurrentlyFinishedMigrationIsCurrent() {
+        when(jdbcTemplate.queryForObject(anyString(), eq(Integer.class))).thenReturn(1, 3);
+
+        TestMessageRepository repository = repository(true);
+        repository.failingExecutions = 1;
+        repository.initDb();
+
+        assertThat(repository.executedScripts).isEmpty();
+        assertThat(outcomeCount("current")).isEqualTo(1);
+    }
+
+    @Test
+    public void concurrentlyRunningMigrationIsContinued() {
+        when(jdbcTemplate.queryForObject(anyString(), eq(Integer.class))).thenReturn(1, 2);
+
+        TestMessageRepository repository = repository(true);
+        repository.failingExecutions = 1;
+        repository.initDb();
+
+        assertThat(repository.executedScripts).containsExactly("v3");
+        assertThat(outcomeCount("initialized")).isEqualTo(1);
+    }
+
+    private TestMessageRepository repository(boolean schemaCheckEnabled) {
+        NamedParameterJdbcTemplate namedParameterJdbcTemplate = mock(NamedParameterJdbcTemplate.class);
+        when(namedParameterJdbcTemplate.getJdbcTemplate()).thenReturn(jdbcTemplate);
+        return new TestMessageRepository(namedParameterJdbcTemplate, outboxerMetrics, schemaCheckEnabled);
+    }
+
+    private long outcomeCount(String outcome) {
+        return meterRegistry.get("message-outboxer.startup.schema-check").tag("outcome", outcome).timer().count();
+    }
+
+    private static class TestMessageRepository extends AbstractJdbcMessageRepository {
+
+        private final List<String> executedScripts = new ArrayList<>();
+        private int failingExecutions;
+
+        TestMessageRepository(NamedParameterJdbcTemplate namedParameterJdbcTemplate,
+                              OutboxerMetrics outboxerMetrics,
+                              boolean schemaCheckEnabled) {
+            super(namedParameterJdbcTemplate, outboxerMetrics, schemaCheckEnabled);
+        }
+
+        @Override
+        protected String schemaScript(int version) {
+            return "v" + version;
+        }
+
+        @Override
+        protected void executeSchemaScripts(List<String> scripts) {
+            if (failingExecutions-- > 0) {
+                throw new UncategorizedScriptException("duplicate column");
+            }
+            executedScripts.addAll(scripts);
+        }
+
+        @Override
+        public void saveAll(Collection<Message<?>> messages) {
+        }
+
+        @Override
+        public List<Message<?>> claimBatch(int batchSize, Duration claimTimeout) {
+            return List.of();
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.decodetamination.messageoutboxer;
+
+import org.apache.kafka.common.serialization.Serializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+class StringOutboxingConfiguration implements OutboxingConfiguration<String, String> {
+
+    private final String topicName;
+    private final int payloadSizeThreshold;
+    private final Consumer<Map<String, Object>> producerPropertiesCustomizer;
+
+    StringOutboxingConfiguration(String topicName) {
+        this(topicName, Integer.MAX_VALUE);
+    }
+
+    StringOutboxingConfiguration(String topicName, int payloadSizeThreshold) {
+        this(topicName, payloadSizeThreshold, ignore -> {
+        });
+    }
+
+    StringOutboxingConfiguration(String topicName,
+                                 int payloadSizeThreshold,
+                                 Consumer<Map<String, Object>> producerPropertiesCustomizer) {
+        this.topicName = topicName;
+        this.payloadSizeThreshold = payloadSizeThreshold;
+        this.producerPropertiesCustomizer = producerPropertiesCustomizer;
+    }
+
+    @Override
+    public Class<String> supports() {
+        return String.class;
+    }
+
+    @Override
+    public Function<String, String> keyExtractor() {
+        return Function.identity();
+    }
+
+    @Override
+    public byte[] serializeMessage(String messageSource) {
+        return messageSource.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public String deserializeMessage(byte[] serialized) {
+        return new String(serialized, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public int payloadSizeThreshold() {
+        return payloadSizeThreshold;
+    }
+
+    @Override
+    public TopicConfiguration topicConfiguration() {
+        return new TopicConfiguration() {
+
+            @Override
+            public String topicName() {
+                return topicName;
+            }
+
+            @Override
+            public Class<? extends Serializer> messageKeySerializerClass() {
+                return StringSerializer.class;
+            }
+
+            @Override
+            public Class<? extends Serializer> messageValueSerializerClass() {
+                return StringSerializer.class;
+            }
+
+            @Override
+            public Consumer<Map<String, Object>> producerPropertiesCustomizer() {
+                return producerPropertiesCustomizer;
+            }
+        };
+    }
+}
@@ -13,6 +13,7 @@ import org.apache.kafka.common.serialization.Serializer;
 import org.apache.kafka.common.serialization.StringDeserializer;
 import org.apache.kafka.common.serialization.StringSerializer;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.annotation.Bean;
@@ -91,6 +92,9 @@ public class TestApplication {
 
         private final SomePayloadTopicConfiguration somePayloadTopicConfiguration;
 
+        @Value("${test-app.payload-size-threshold:2147483647}")
+        private int payloadSizeThreshold;
+
         @Override
         public Class<SomePayload> supports() {
             return SomePayload.class;
@@ -113,6 +117,11 @@ public class TestApplication {
             return new ObjectMapper().readValue(serialized, SomePayload.class);
         }
 
+        @Override
+        public int payloadSizeThreshold() {
+            return payloadSizeThreshold;
+        }
+
         @Override
         public TopicConfiguration topicConfiguration() {
             return somePayloadTopicConfiguration;